@@ -0,0 +1,301 @@
+package com.Cartesian.Model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+* Columnar, off-heap representation of a materialized Cartesian product
+* Each row (a, b) is stored as two int element IDs, the positions of a in
+* set A and b in set B, so a row costs 8 bytes of direct memory instead
+* of a CartesianPair object on the heap
+*/
+public class ColumnarProduct {
+
+  /**
+   * Largest row count a single direct int column can hold
+   */
+  public static final int MAX_ROWS = Integer.MAX_VALUE / Integer.BYTES;
+
+  private final List<SetElement> setA;
+  private final List<SetElement> setB;
+  private final IntBuffer firstIds;
+  private final IntBuffer secondIds;
+  private final int size;
+
+  /**
+   * Constructor
+   * @param setA Dictionary for the first column
+   * @param setB Dictionary for the second column
+   * @param firstIds Element IDs into set A
+   * @param secondIds Element IDs into set B
+   * @param size Number of rows
+   */
+  private ColumnarProduct(List<SetElement> setA, List<SetElement> setB,
+                          IntBuffer firstIds, IntBuffer secondIds, int size) {
+      this.setA = setA;
+      this.setB = setB;
+      this.firstIds = firstIds;
+      this.secondIds = secondIds;
+      this.size = size;
+  }
+
+  /**
+   * Materialize A × B in the same A-major order as generateCartesianProduct
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @return Columnar product
+   * @throws IllegalArgumentException if the product does not fit in a column
+   */
+  public static ColumnarProduct of(List<SetElement> setA, List<SetElement> setB) {
+      if (setA == null || setB == null) {
+          throw new IllegalArgumentException("Sets cannot be null");
+      }
+
+      long rows = (long) setA.size() * setB.size();
+      if (rows > MAX_ROWS) {
+          throw new IllegalArgumentException("Product of " + rows + " pairs exceeds columnar limit of " + MAX_ROWS);
+      }
+
+      int size = (int) rows;
+      IntBuffer firstIds = allocateColumn(size);
+      IntBuffer secondIds = allocateColumn(size);
+
+      int row = 0;
+      for (int a = 0; a < setA.size(); a++) {
+          for (int b = 0; b < setB.size(); b++) {
+              firstIds.put(row, a);
+              secondIds.put(row, b);
+              row++;
+          }
+      }
+
+      // Copy the dictionaries so the stored IDs cannot be invalidated by the caller
+      return new ColumnarProduct(Collections.unmodifiableList(new ArrayList<>(setA)),
+                                 Collections.unmodifiableList(new ArrayList<>(setB)),
+                                 firstIds, secondIds, size);
+  }
+
+  /**
+   * Get the number of rows
+   * @return row count
+   */
+  public int size() {
+      return size;
+  }
+
+  /**
+   * Get the dictionary for the first column
+   * @return set A
+   */
+  public List<SetElement> getSetA() {
+      return setA;
+  }
+
+  /**
+   * Get the dictionary for the second column
+   * @return set B
+   */
+  public List<SetElement> getSetB() {
+      return setB;
+  }
+
+  /**
+   * Get the element ID of a in the given row
+   * @param row Row index
+   * @return position of a in set A
+   */
+  public int getFirstId(int row) {
+      checkRow(row);
+      return firstIds.get(row);
+  }
+
+  /**
+   * Get the element ID of b in the given row
+   * @param row Row index
+   * @return position of b in set B
+   */
+  public int getSecondId(int row) {
+      checkRow(row);
+      return secondIds.get(row);
+  }
+
+  /**
+   * Build the CartesianPair for a single row
+   * @param row Row index
+   * @return pair (a, b)
+   */
+  public CartesianPair getPair(int row) {
+      checkRow(row);
+      return new CartesianPair(setA.get(firstIds.get(row)), setB.get(secondIds.get(row)));
+  }
+
+  /**
+   * Zero-copy read-only view of the rows as CartesianPair
+   * Pairs are created only when an element of the view is accessed
+   *
+   * @return list view backed by the columns
+   */
+  public List<CartesianPair> asPairList() {
+      return new AbstractList<CartesianPair>() {
+          @Override
+          public CartesianPair get(int index) {
+              return getPair(index);
+          }
+
+          @Override
+          public int size() {
+              return size;
+          }
+      };
+  }
+
+  /**
+   * Keep the rows whose elements satisfy both predicates
+   * Each predicate is evaluated once per distinct element, then the
+   * columns are scanned against the resulting masks
+   *
+   * @param onFirst Predicate for a (null accepts all)
+   * @param onSecond Predicate for b (null accepts all)
+   * @return New columnar product with the matching rows
+   */
+  public ColumnarProduct filter(Predicate<SetElement> onFirst, Predicate<SetElement> onSecond) {
+      boolean[] maskA = mask(setA, onFirst);
+      boolean[] maskB = mask(setB, onSecond);
+
+      int count = 0;
+      for (int row = 0; row < size; row++) {
+          if (maskA[firstIds.get(row)] & maskB[secondIds.get(row)]) {
+              count++;
+          }
+      }
+
+      IntBuffer filteredFirst = allocateColumn(count);
+      IntBuffer filteredSecond = allocateColumn(count);
+
+      int out = 0;
+      for (int row = 0; row < size; row++) {
+          int a = firstIds.get(row);
+          int b = secondIds.get(row);
+          if (maskA[a] & maskB[b]) {
+              filteredFirst.put(out, a);
+              filteredSecond.put(out, b);
+              out++;
+          }
+      }
+
+      return new ColumnarProduct(setA, setB, filteredFirst, filteredSecond, count);
+  }
+
+  /**
+   * Keep only the rows where both elements are numeric
+   * @return New columnar product with the numeric rows
+   */
+  public ColumnarProduct filterNumeric() {
+      return filter(SetElement::isNumeric, SetElement::isNumeric);
+  }
+
+  /**
+   * Count the rows where both elements are numeric
+   * @return numeric row count
+   */
+  public long countNumericPairs() {
+      boolean[] maskA = mask(setA, SetElement::isNumeric);
+      boolean[] maskB = mask(setB, SetElement::isNumeric);
+
+      long count = 0;
+      for (int row = 0; row < size; row++) {
+          if (maskA[firstIds.get(row)] & maskB[secondIds.get(row)]) {
+              count++;
+          }
+      }
+      return count;
+  }
+
+  /**
+   * Sum of a + b over all numeric rows
+   * @return total of CartesianPair.getSum for the numeric rows
+   */
+  public double sumOfSums() {
+      boolean[] maskA = mask(setA, SetElement::isNumeric);
+      boolean[] maskB = mask(setB, SetElement::isNumeric);
+      double[] valuesA = numericValues(setA, maskA);
+      double[] valuesB = numericValues(setB, maskB);
+
+      double total = 0;
+      for (int row = 0; row < size; row++) {
+          int a = firstIds.get(row);
+          int b = secondIds.get(row);
+          if (maskA[a] & maskB[b]) {
+              total += valuesA[a] + valuesB[b];
+          }
+      }
+      return total;
+  }
+
+  /**
+   * Sum of a × b over all numeric rows
+   * @return total of CartesianPair.getProduct for the numeric rows
+   */
+  public double sumOfProducts() {
+      boolean[] maskA = mask(setA, SetElement::isNumeric);
+      boolean[] maskB = mask(setB, SetElement::isNumeric);
+      double[] valuesA = numericValues(setA, maskA);
+      double[] valuesB = numericValues(setB, maskB);
+
+      double total = 0;
+      for (int row = 0; row < size; row++) {
+          int a = firstIds.get(row);
+          int b = secondIds.get(row);
+          if (maskA[a] & maskB[b]) {
+              total += valuesA[a] * valuesB[b];
+          }
+      }
+      return total;
+  }
+
+  /**
+   * Allocate a direct int column in native byte order
+   */
+  private static IntBuffer allocateColumn(int rows) {
+      return ByteBuffer.allocateDirect(rows * Integer.BYTES)
+              .order(ByteOrder.nativeOrder())
+              .asIntBuffer();
+  }
+
+  /**
+   * Evaluate a predicate once per dictionary element
+   */
+  private static boolean[] mask(List<SetElement> dictionary, Predicate<SetElement> predicate) {
+      boolean[] mask = new boolean[dictionary.size()];
+      for (int i = 0; i < mask.length; i++) {
+          mask[i] = predicate == null || predicate.test(dictionary.get(i));
+      }
+      return mask;
+  }
+
+  /**
+   * Parse numeric values once per dictionary element, 0 where the mask is unset
+   */
+  private static double[] numericValues(List<SetElement> dictionary, boolean[] numeric) {
+      double[] values = new double[dictionary.size()];
+      for (int i = 0; i < values.length; i++) {
+          if (numeric[i]) {
+              values[i] = dictionary.get(i).getNumericValue();
+          }
+      }
+      return values;
+  }
+
+  private void checkRow(int row) {
+      if (row < 0 || row >= size) {
+          throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + size + ")");
+      }
+  }
+}
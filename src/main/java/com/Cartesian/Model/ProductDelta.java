@@ -0,0 +1,57 @@
+package com.Cartesian.Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+* Change to a Cartesian product after its input sets were modified
+* Holds the pairs that entered and left A × B, i.e. ΔA × B or A × ΔB
+*/
+public class ProductDelta {
+
+  private final List<CartesianPair> added;
+  private final List<CartesianPair> removed;
+
+  /**
+   * Constructor
+   * @param added Pairs that are now in the product
+   * @param removed Pairs that are no longer in the product
+   */
+  public ProductDelta(List<CartesianPair> added, List<CartesianPair> removed) {
+      if (added == null || removed == null) {
+          throw new IllegalArgumentException("Delta pair lists cannot be null");
+      }
+      this.added = Collections.unmodifiableList(new ArrayList<>(added));
+      this.removed = Collections.unmodifiableList(new ArrayList<>(removed));
+  }
+
+  /**
+   * Get the pairs added to the product
+   * @return added pairs
+   */
+  public List<CartesianPair> getAdded() {
+      return added;
+  }
+
+  /**
+   * Get the pairs removed from the product
+   * @return removed pairs
+   */
+  public List<CartesianPair> getRemoved() {
+      return removed;
+  }
+
+  /**
+   * Check if the change left the product untouched
+   * @return true if no pair was added or removed
+   */
+  public boolean isEmpty() {
+      return added.isEmpty() && removed.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+      return "+" + added + " -" + removed;
+  }
+}
@@ -0,0 +1,344 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+* Service class for joined (theta) products
+* Computes { (a, b) ∈ A × B | key(a) θ key(b) } without
+* generating the full Cartesian product first
+*/
+public class CartesianJoinService {
+
+  /**
+   * Largest B that AUTO will hash before switching to sort-merge
+   * The hash table is always built from B, so B bounds its size
+   */
+  public static final int HASH_BUILD_LIMIT = 1 << 20;
+
+  /**
+   * Equi-join on element values
+   * Equivalent to keeping the pairs of A × B where a.value equals b.value
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param strategy Join strategy
+   * @return List of matching CartesianPair
+   * @throws InvalidSetException if sets are invalid
+   */
+  public List<CartesianPair> equiJoin(List<SetElement> setA, List<SetElement> setB, JoinStrategy strategy)
+          throws InvalidSetException {
+      return equiJoin(setA, setB, SetElement::getValue, SetElement::getValue, strategy);
+  }
+
+  /**
+   * Equi-join on extracted keys
+   * Keeps the pairs (a, b) where keyA(a) equals keyB(b); null keys never match.
+   * HASH returns pairs in the same A-major order as generateCartesianProduct,
+   * SORT_MERGE returns them in key order.
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param keyA Key extractor for elements of A
+   * @param keyB Key extractor for elements of B
+   * @param strategy Join strategy
+   * @return List of matching CartesianPair
+   * @throws InvalidSetException if sets or arguments are invalid
+   */
+  public <K extends Comparable<? super K>> List<CartesianPair> equiJoin(List<SetElement> setA, List<SetElement> setB,
+                                                                     Function<SetElement, K> keyA,
+                                                                     Function<SetElement, K> keyB,
+                                                                     JoinStrategy strategy)
+          throws InvalidSetException {
+
+      List<CartesianPair> result = new ArrayList<>();
+      equiJoin(setA, setB, keyA, keyB, strategy, result::add);
+      return result;
+  }
+
+  /**
+   * Equi-join on element values, streaming matches to a sink
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param strategy Join strategy
+   * @param sink Receives each matching pair
+   * @return Number of matching pairs
+   * @throws InvalidSetException if sets are invalid
+   */
+  public long equiJoin(List<SetElement> setA, List<SetElement> setB, JoinStrategy strategy,
+                       Consumer<CartesianPair> sink)
+          throws InvalidSetException {
+      return equiJoin(setA, setB, SetElement::getValue, SetElement::getValue, strategy, sink);
+  }
+
+  /**
+   * Equi-join on extracted keys, streaming matches to a sink
+   * Only the build structures are held in memory: the hash table on B,
+   * or sorted copies of both sets. Pairs are passed to the sink as soon
+   * as they are found, in the same order the list-returning variant uses.
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param keyA Key extractor for elements of A
+   * @param keyB Key extractor for elements of B
+   * @param strategy Join strategy
+   * @param sink Receives each matching pair
+   * @return Number of matching pairs
+   * @throws InvalidSetException if sets or arguments are invalid
+   */
+  public <K extends Comparable<? super K>> long equiJoin(List<SetElement> setA, List<SetElement> setB,
+                                                         Function<SetElement, K> keyA,
+                                                         Function<SetElement, K> keyB,
+                                                         JoinStrategy strategy,
+                                                         Consumer<CartesianPair> sink)
+          throws InvalidSetException {
+
+      CartesianProductService.validateSets(setA, setB);
+
+      if (keyA == null || keyB == null) {
+          throw new InvalidSetException("Key extractors cannot be null");
+      }
+      if (sink == null) {
+          throw new IllegalArgumentException("Sink cannot be null");
+      }
+
+      switch (chooseStrategy(setA.size(), setB.size(), strategy)) {
+          case SORT_MERGE:
+              return sortMergeJoin(setA, setB, keyA, keyB, sink);
+          default:
+              return hashJoin(setA, setB, keyA, keyB, sink);
+      }
+  }
+
+  /**
+   * Band-join on numeric values
+   * Keeps the pairs (a, b) where |a - b| <= width; non-numeric elements never match.
+   * B is sorted once and each a scans only its window, so the cost is
+   * O(|B| log |B| + |A| log |B| + output) instead of O(|A| × |B|).
+   * Pairs are returned in A-major order, with B ascending by value.
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param width Maximum allowed distance between a and b
+   * @return List of matching CartesianPair
+   * @throws InvalidSetException if sets are invalid or width is negative
+   */
+  public List<CartesianPair> bandJoin(List<SetElement> setA, List<SetElement> setB, double width)
+          throws InvalidSetException {
+
+      CartesianProductService.validateSets(setA, setB);
+
+      if (!(width >= 0)) {
+          throw new InvalidSetException("Band width must be a non-negative number");
+      }
+
+      // Sort the numeric elements of B by value
+      List<SetElement> numericB = new ArrayList<>();
+      for (SetElement elementB : setB) {
+          if (elementB.isNumeric()) {
+              numericB.add(elementB);
+          }
+      }
+
+      int sizeB = numericB.size();
+      double[] valuesB = new double[sizeB];
+      Integer[] order = new Integer[sizeB];
+      for (int i = 0; i < sizeB; i++) {
+          valuesB[i] = numericB.get(i).getNumericValue();
+          order[i] = i;
+      }
+      Arrays.sort(order, Comparator.comparingDouble(i -> valuesB[i]));
+
+      double[] sortedValues = new double[sizeB];
+      SetElement[] sortedB = new SetElement[sizeB];
+      for (int i = 0; i < sizeB; i++) {
+          sortedValues[i] = valuesB[order[i]];
+          sortedB[i] = numericB.get(order[i]);
+      }
+
+      List<CartesianPair> result = new ArrayList<>();
+
+      for (SetElement elementA : setA) {
+          if (!elementA.isNumeric()) {
+              continue;
+          }
+
+          double valueA = elementA.getNumericValue();
+          double upper = valueA + width;
+
+          for (int i = lowerBound(sortedValues, valueA - width); i < sizeB && sortedValues[i] <= upper; i++) {
+              result.add(new CartesianPair(elementA, sortedB[i]));
+          }
+      }
+
+      return result;
+  }
+
+  /**
+   * Resolve the strategy to use for an equi-join
+   * AUTO hashes unless B, the side the table is built from, exceeds
+   * HASH_BUILD_LIMIT, in which case sort-merge avoids holding a large hash table
+   *
+   * @param sizeA Cardinality of A (the probe side)
+   * @param sizeB Cardinality of B (the build side)
+   * @param requested Requested strategy (null means AUTO)
+   * @return HASH or SORT_MERGE
+   */
+  public JoinStrategy chooseStrategy(int sizeA, int sizeB, JoinStrategy requested) {
+      if (requested != null && requested != JoinStrategy.AUTO) {
+          return requested;
+      }
+      return sizeB > HASH_BUILD_LIMIT ? JoinStrategy.SORT_MERGE : JoinStrategy.HASH;
+  }
+
+  /**
+   * Hash join that builds a table on B and probes it with A in order
+   * When A is the smaller set its keys are collected first, so the table
+   * keeps only the elements of B that can match; it still holds up to |B|
+   * elements. Pairs are pushed to the sink in A-major order as they are found.
+   */
+  private <K> long hashJoin(List<SetElement> setA, List<SetElement> setB,
+                            Function<SetElement, K> keyA, Function<SetElement, K> keyB,
+                            Consumer<CartesianPair> sink) {
+      Set<K> keysOfA = null;
+
+      if (setA.size() < setB.size()) {
+          // Collect A's keys first, so only the elements of B that can match are kept
+          keysOfA = new HashSet<>();
+          for (SetElement elementA : setA) {
+              K key = keyA.apply(elementA);
+              if (key != null) {
+                  keysOfA.add(key);
+              }
+          }
+      }
+
+      Map<K, List<SetElement>> table = new HashMap<>();
+      for (SetElement elementB : setB) {
+          K key = keyB.apply(elementB);
+          if (key != null && (keysOfA == null || keysOfA.contains(key))) {
+              table.computeIfAbsent(key, k -> new ArrayList<>()).add(elementB);
+          }
+      }
+
+      // Probe with A in order
+      long count = 0;
+      for (SetElement elementA : setA) {
+          K key = keyA.apply(elementA);
+          List<SetElement> matches = key == null ? null : table.get(key);
+          if (matches != null) {
+              for (SetElement elementB : matches) {
+                  sink.accept(new CartesianPair(elementA, elementB));
+              }
+              count += matches.size();
+          }
+      }
+      return count;
+  }
+
+  /**
+   * Sort-merge join
+   * Both sides are sorted once by key and merged group by group
+   */
+  private <K extends Comparable<? super K>> long sortMergeJoin(List<SetElement> setA, List<SetElement> setB,
+                                                               Function<SetElement, K> keyA,
+                                                               Function<SetElement, K> keyB,
+                                                               Consumer<CartesianPair> sink) {
+      List<Keyed<K>> sortedA = sortByKey(setA, keyA);
+      List<Keyed<K>> sortedB = sortByKey(setB, keyB);
+
+      long count = 0;
+      int i = 0;
+      int j = 0;
+
+      while (i < sortedA.size() && j < sortedB.size()) {
+          K key = sortedA.get(i).key;
+          int cmp = key.compareTo(sortedB.get(j).key);
+
+          if (cmp < 0) {
+              i++;
+          } else if (cmp > 0) {
+              j++;
+          } else {
+              // Find the end of the equal-key group on both sides
+              int endA = i;
+              while (endA < sortedA.size() && sortedA.get(endA).key.compareTo(key) == 0) {
+                  endA++;
+              }
+              int endB = j;
+              while (endB < sortedB.size() && sortedB.get(endB).key.compareTo(key) == 0) {
+                  endB++;
+              }
+
+              for (int a = i; a < endA; a++) {
+                  for (int b = j; b < endB; b++) {
+                      sink.accept(new CartesianPair(sortedA.get(a).element, sortedB.get(b).element));
+                  }
+              }
+              count += (long) (endA - i) * (endB - j);
+              i = endA;
+              j = endB;
+          }
+      }
+
+      return count;
+  }
+
+  /**
+   * Extract keys once and stable-sort the elements by them, dropping null keys
+   */
+  private <K extends Comparable<? super K>> List<Keyed<K>> sortByKey(List<SetElement> set, Function<SetElement, K> keyFunction) {
+      List<Keyed<K>> keyed = new ArrayList<>(set.size());
+      for (SetElement element : set) {
+          K key = keyFunction.apply(element);
+          if (key != null) {
+              keyed.add(new Keyed<>(key, element));
+          }
+      }
+      keyed.sort((x, y) -> x.key.compareTo(y.key));
+      return keyed;
+  }
+
+  /**
+   * Index of the first value >= target in a sorted array
+   */
+  private int lowerBound(double[] sorted, double target) {
+      int low = 0;
+      int high = sorted.length;
+      while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (sorted[mid] < target) {
+              low = mid + 1;
+          } else {
+              high = mid;
+          }
+      }
+      return low;
+  }
+
+  /**
+   * Element paired with its precomputed join key
+   */
+  private static final class Keyed<K> {
+      private final K key;
+      private final SetElement element;
+
+      private Keyed(K key, SetElement element) {
+          this.key = key;
+          this.element = element;
+      }
+  }
+}
@@ -3,6 +3,7 @@ package com.Cartesian.Service;
 
 
 import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.ColumnarProduct;
 import com.Cartesian.Model.SetElement;
 import com.Cartesian.exception.InvalidSetException;
 
@@ -96,6 +97,25 @@ public class CartesianProductService {
               .collect(Collectors.toList());
   }
   
+  /**
+   * Generate Cartesian product A × B in columnar, off-heap form
+   * Stores element IDs instead of CartesianPair objects; use
+   * ColumnarProduct.asPairList() to view rows as pairs when needed
+   * 
+   * @param setA First set
+   * @param setB Second set
+   * @return ColumnarProduct representing A × B
+   * @throws InvalidSetException if sets are invalid
+   * @throws IllegalArgumentException if the product exceeds ColumnarProduct.MAX_ROWS
+   */
+  public ColumnarProduct generateColumnarProduct(List<SetElement> setA, List<SetElement> setB) 
+          throws InvalidSetException {
+      
+      validateSets(setA, setB);
+      
+      return ColumnarProduct.of(setA, setB);
+  }
+  
   /**
    * Filter cartesian product to only include numeric pairs
    * 
@@ -139,12 +159,13 @@ public class CartesianProductService {
   
   /**
    * Validate that sets are not null or empty
+   * Shared by every service that takes a pair of input sets
    * 
    * @param setA First set
    * @param setB Second set
    * @throws InvalidSetException if validation fails
    */
-  private void validateSets(List<SetElement> setA, List<SetElement> setB) 
+  public static void validateSets(List<SetElement> setA, List<SetElement> setB) 
           throws InvalidSetException {
       
       if (setA == null || setB == null) {
@@ -178,4 +199,21 @@ public class CartesianProductService {
       
       return stats.toString();
   }
+  
+  /**
+   * Generate statistics about a columnar cartesian product
+   * 
+   * @param product The columnar product
+   * @return Statistics string
+   */
+  public String generateStatistics(ColumnarProduct product) {
+      long numericPairs = product.countNumericPairs();
+      
+      StringBuilder stats = new StringBuilder();
+      stats.append("Total pairs: ").append(product.size()).append("\n");
+      stats.append("Numeric pairs: ").append(numericPairs).append("\n");
+      stats.append("Non-numeric pairs: ").append(product.size() - numericPairs);
+      
+      return stats.toString();
+  }
 }
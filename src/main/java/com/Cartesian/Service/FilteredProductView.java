@@ -0,0 +1,76 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.ProductDelta;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+* Live, read-only view of the pairs of an IncrementalProduct matching a filter
+* Updated from each delta until closed; close it when no longer needed so
+* the product stops maintaining it.
+*/
+public class FilteredProductView extends AbstractSet<CartesianPair> implements AutoCloseable {
+
+  private final IncrementalProduct product;
+  private final Predicate<CartesianPair> filter;
+  private final Set<CartesianPair> pairs = new LinkedHashSet<>();
+  private final Consumer<ProductDelta> listener = this::apply;
+
+  /**
+   * Constructor
+   * @param product Product to follow
+   * @param filter Predicate selecting the pairs to keep
+   */
+  FilteredProductView(IncrementalProduct product, Predicate<CartesianPair> filter) {
+      this.product = product;
+      this.filter = filter;
+      product.forEachPair(pair -> {
+          if (filter.test(pair)) {
+              pairs.add(pair);
+          }
+      });
+      product.addListener(listener);
+  }
+
+  @Override
+  public Iterator<CartesianPair> iterator() {
+      return Collections.unmodifiableSet(pairs).iterator();
+  }
+
+  @Override
+  public int size() {
+      return pairs.size();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+      return pairs.contains(o);
+  }
+
+  /**
+   * Stop following the product; the view keeps its last contents
+   */
+  @Override
+  public void close() {
+      product.removeListener(listener);
+  }
+
+  private void apply(ProductDelta delta) {
+      // Remove one by one; removeAll may scan the whole view against the list
+      for (CartesianPair pair : delta.getRemoved()) {
+          pairs.remove(pair);
+      }
+      for (CartesianPair pair : delta.getAdded()) {
+          if (filter.test(pair)) {
+              pairs.add(pair);
+          }
+      }
+  }
+}
@@ -0,0 +1,291 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.ProductDelta;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+* Cartesian product A × B maintained incrementally as A and B change
+* Each update emits only ΔA × B or A × ΔB, so its cost is proportional
+* to the number of changed pairs rather than to |A| × |B|. Statistics and
+* filtered views are updated from the delta; other consumers can register
+* a listener. A and B are treated as mathematical sets: adding an element
+* already present, or removing one that is absent, changes nothing.
+* Instances are not thread-safe.
+*/
+public class IncrementalProduct {
+
+  // Keyed by value; the mapped instance is the one stored, so its set name is kept
+  private final Map<SetElement, SetElement> setA = new LinkedHashMap<>();
+  private final Map<SetElement, SetElement> setB = new LinkedHashMap<>();
+  private final List<Consumer<ProductDelta>> listeners = new CopyOnWriteArrayList<>();
+
+  private long numericA;
+  private long numericB;
+
+  /**
+   * Constructor
+   * @param initialA Initial elements of A (may be empty)
+   * @param initialB Initial elements of B (may be empty)
+   * @throws InvalidSetException if either set is null
+   */
+  public IncrementalProduct(Collection<SetElement> initialA, Collection<SetElement> initialB)
+          throws InvalidSetException {
+
+      if (initialA == null || initialB == null) {
+          throw new InvalidSetException("Sets cannot be null");
+      }
+      for (SetElement element : initialA) {
+          if (putElement(setA, element)) {
+              numericA += element.isNumeric() ? 1 : 0;
+          }
+      }
+      for (SetElement element : initialB) {
+          if (putElement(setB, element)) {
+              numericB += element.isNumeric() ? 1 : 0;
+          }
+      }
+  }
+
+  /**
+   * Add elements to A
+   * @param elements Elements to add
+   * @return Delta containing ΔA × B as added pairs
+   */
+  public ProductDelta addToA(Collection<SetElement> elements) {
+      List<CartesianPair> added = new ArrayList<>();
+      for (SetElement element : elements) {
+          if (putElement(setA, element)) {
+              numericA += element.isNumeric() ? 1 : 0;
+              for (SetElement elementB : setB.values()) {
+                  added.add(new CartesianPair(element, elementB));
+              }
+          }
+      }
+      return publish(new ProductDelta(added, Collections.<CartesianPair>emptyList()));
+  }
+
+  /**
+   * Remove elements from A
+   * @param elements Elements to remove (matched by value)
+   * @return Delta containing ΔA × B as removed pairs
+   */
+  public ProductDelta removeFromA(Collection<SetElement> elements) {
+      List<CartesianPair> removed = new ArrayList<>();
+      for (SetElement element : elements) {
+          SetElement stored = setA.remove(element);
+          if (stored != null) {
+              numericA -= stored.isNumeric() ? 1 : 0;
+              for (SetElement elementB : setB.values()) {
+                  removed.add(new CartesianPair(stored, elementB));
+              }
+          }
+      }
+      return publish(new ProductDelta(Collections.<CartesianPair>emptyList(), removed));
+  }
+
+  /**
+   * Add elements to B
+   * @param elements Elements to add
+   * @return Delta containing A × ΔB as added pairs
+   */
+  public ProductDelta addToB(Collection<SetElement> elements) {
+      List<SetElement> newElements = new ArrayList<>();
+      for (SetElement element : elements) {
+          if (putElement(setB, element)) {
+              numericB += element.isNumeric() ? 1 : 0;
+              newElements.add(element);
+          }
+      }
+
+      // Keep A-major order within the delta
+      List<CartesianPair> added = new ArrayList<>();
+      for (SetElement elementA : setA.values()) {
+          for (SetElement element : newElements) {
+              added.add(new CartesianPair(elementA, element));
+          }
+      }
+      return publish(new ProductDelta(added, Collections.<CartesianPair>emptyList()));
+  }
+
+  /**
+   * Remove elements from B
+   * @param elements Elements to remove (matched by value)
+   * @return Delta containing A × ΔB as removed pairs
+   */
+  public ProductDelta removeFromB(Collection<SetElement> elements) {
+      List<SetElement> removedElements = new ArrayList<>();
+      for (SetElement element : elements) {
+          SetElement stored = setB.remove(element);
+          if (stored != null) {
+              numericB -= stored.isNumeric() ? 1 : 0;
+              removedElements.add(stored);
+          }
+      }
+
+      List<CartesianPair> removed = new ArrayList<>();
+      for (SetElement elementA : setA.values()) {
+          for (SetElement element : removedElements) {
+              removed.add(new CartesianPair(elementA, element));
+          }
+      }
+      return publish(new ProductDelta(Collections.<CartesianPair>emptyList(), removed));
+  }
+
+  /**
+   * Register a listener notified with every non-empty delta
+   * If a listener throws, the change has still been applied and every other
+   * listener still receives the delta before the exception propagates.
+   * @param listener Delta consumer
+   */
+  public void addListener(Consumer<ProductDelta> listener) {
+      if (listener == null) {
+          throw new IllegalArgumentException("Listener cannot be null");
+      }
+      listeners.add(listener);
+  }
+
+  /**
+   * Unregister a listener
+   * @param listener Delta consumer
+   */
+  public void removeListener(Consumer<ProductDelta> listener) {
+      listeners.remove(listener);
+  }
+
+  /**
+   * Create a live view of the pairs matching a predicate
+   * The view is filled once from the current product and afterwards
+   * updated from each delta. Pairs added later appear at the end.
+   * Close the view when it is no longer needed.
+   *
+   * @param filter Predicate selecting the pairs to keep
+   * @return Live view of the matching pairs
+   */
+  public FilteredProductView filteredView(Predicate<CartesianPair> filter) {
+      if (filter == null) {
+          throw new IllegalArgumentException("Filter cannot be null");
+      }
+      return new FilteredProductView(this, filter);
+  }
+
+  /**
+   * Get the current elements of A
+   * @return snapshot of A
+   */
+  public List<SetElement> getSetA() {
+      return new ArrayList<>(setA.values());
+  }
+
+  /**
+   * Get the current elements of B
+   * @return snapshot of B
+   */
+  public List<SetElement> getSetB() {
+      return new ArrayList<>(setB.values());
+  }
+
+  /**
+   * Materialize the current product in A-major order
+   * @return List of CartesianPair representing A × B
+   */
+  public List<CartesianPair> getProduct() {
+      List<CartesianPair> product = new ArrayList<>();
+      forEachPair(product::add);
+      return product;
+  }
+
+  /**
+   * Visit the current product in A-major order without materializing it
+   */
+  void forEachPair(Consumer<CartesianPair> action) {
+      for (SetElement elementA : setA.values()) {
+          for (SetElement elementB : setB.values()) {
+              action.accept(new CartesianPair(elementA, elementB));
+          }
+      }
+  }
+
+  /**
+   * Get cardinality of the current product
+   * @return |A| × |B|
+   */
+  public long getCardinality() {
+      return (long) setA.size() * setB.size();
+  }
+
+  /**
+   * Get the number of numeric pairs in the current product
+   * @return numeric elements of A × numeric elements of B
+   */
+  public long getNumericPairs() {
+      return numericA * numericB;
+  }
+
+  /**
+   * Generate statistics about the current product
+   * Same format as CartesianProductService.generateStatistics, in constant time
+   *
+   * @return Statistics string
+   */
+  public String generateStatistics() {
+      long total = getCardinality();
+      long numericPairs = getNumericPairs();
+
+      StringBuilder stats = new StringBuilder();
+      stats.append("Total pairs: ").append(total).append("\n");
+      stats.append("Numeric pairs: ").append(numericPairs).append("\n");
+      stats.append("Non-numeric pairs: ").append(total - numericPairs);
+
+      return stats.toString();
+  }
+
+  /**
+   * Insert an element unless an equal one is already present
+   */
+  private boolean putElement(Map<SetElement, SetElement> set, SetElement element) {
+      if (element == null) {
+          throw new IllegalArgumentException("Set elements cannot be null");
+      }
+      return set.putIfAbsent(element, element) == null;
+  }
+
+  /**
+   * Deliver a delta to every listener
+   * A failing listener does not stop the others from seeing the delta;
+   * the first failure is rethrown afterwards with the rest suppressed.
+   */
+  private ProductDelta publish(ProductDelta delta) {
+      if (delta.isEmpty()) {
+          return delta;
+      }
+
+      RuntimeException failure = null;
+      for (Consumer<ProductDelta> listener : listeners) {
+          try {
+              listener.accept(delta);
+          } catch (RuntimeException e) {
+              if (failure == null) {
+                  failure = e;
+              } else {
+                  failure.addSuppressed(e);
+              }
+          }
+      }
+      if (failure != null) {
+          throw failure;
+      }
+      return delta;
+  }
+}
@@ -0,0 +1,45 @@
+package com.Cartesian.Service;
+
+/**
+* Lifecycle state of a job submitted to ProductJobScheduler
+*/
+public enum JobStatus {
+
+  /**
+   * Accepted and waiting for a worker
+   */
+  QUEUED,
+
+  /**
+   * Currently emitting pairs to its sink
+   */
+  RUNNING,
+
+  /**
+   * Emitted every pair
+   */
+  COMPLETED,
+
+  /**
+   * Stopped because of an exception in the job or its sink
+   */
+  FAILED,
+
+  /**
+   * Cancelled by the caller
+   */
+  CANCELLED,
+
+  /**
+   * Cancelled because it exceeded its timeout
+   */
+  TIMED_OUT;
+
+  /**
+   * Check if the job has finished, successfully or not
+   * @return true for COMPLETED, FAILED, CANCELLED and TIMED_OUT
+   */
+  public boolean isTerminal() {
+      return this != QUEUED && this != RUNNING;
+  }
+}
@@ -0,0 +1,23 @@
+package com.Cartesian.Service;
+
+/**
+* Strategy used by CartesianJoinService to evaluate a join
+* without materializing the full Cartesian product A × B
+*/
+public enum JoinStrategy {
+
+  /**
+   * Build a hash table on B and probe it with A, keeping A-major order
+   */
+  HASH,
+
+  /**
+   * Sort both sets by key and merge them in a single pass
+   */
+  SORT_MERGE,
+
+  /**
+   * Let the service pick a strategy based on the input sizes
+   */
+  AUTO
+}
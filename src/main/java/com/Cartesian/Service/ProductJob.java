@@ -0,0 +1,92 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+* Description of a product job for ProductJobScheduler
+* Either the full product A × B, or an equi-join on element values
+* evaluated with a JoinStrategy. Pairs are pushed to the sink from
+* a single worker thread, in the same order the services return them.
+*/
+public class ProductJob {
+
+  private final List<SetElement> setA;
+  private final List<SetElement> setB;
+  private final JoinStrategy joinStrategy;
+  private final Consumer<CartesianPair> sink;
+
+  /**
+   * Constructor for a full Cartesian product job
+   * @param setA First set
+   * @param setB Second set
+   * @param sink Receives every pair of A × B
+   */
+  public ProductJob(List<SetElement> setA, List<SetElement> setB, Consumer<CartesianPair> sink) {
+      this(setA, setB, null, sink);
+  }
+
+  /**
+   * Constructor for an equi-join job
+   * @param setA First set
+   * @param setB Second set
+   * @param joinStrategy Join strategy, or null for the full product
+   * @param sink Receives every matching pair
+   */
+  public ProductJob(List<SetElement> setA, List<SetElement> setB, JoinStrategy joinStrategy,
+                    Consumer<CartesianPair> sink) {
+      if (sink == null) {
+          throw new IllegalArgumentException("Job sink cannot be null");
+      }
+      // Snapshot the inputs so callers can keep mutating their own lists
+      this.setA = setA != null ? Collections.unmodifiableList(new ArrayList<>(setA)) : null;
+      this.setB = setB != null ? Collections.unmodifiableList(new ArrayList<>(setB)) : null;
+      this.joinStrategy = joinStrategy;
+      this.sink = sink;
+  }
+
+  /**
+   * Get the first set
+   * @return set A
+   */
+  public List<SetElement> getSetA() {
+      return setA;
+  }
+
+  /**
+   * Get the second set
+   * @return set B
+   */
+  public List<SetElement> getSetB() {
+      return setB;
+  }
+
+  /**
+   * Get the join strategy
+   * @return join strategy, or null for the full product
+   */
+  public JoinStrategy getJoinStrategy() {
+      return joinStrategy;
+  }
+
+  /**
+   * Check if this job is an equi-join rather than a full product
+   * @return true if a join strategy is set
+   */
+  public boolean isJoin() {
+      return joinStrategy != null;
+  }
+
+  /**
+   * Get the sink receiving the pairs
+   * @return sink
+   */
+  public Consumer<CartesianPair> getSink() {
+      return sink;
+  }
+}
@@ -0,0 +1,264 @@
+package com.Cartesian.Service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+* Handle for a job submitted to ProductJobScheduler
+* Reports status and progress and allows the caller to cancel or wait.
+* Once await() returns or throws, the job's sink will not be called again.
+* All methods are thread-safe.
+*/
+public class ProductJobHandle {
+
+  private final long id;
+  private final AtomicReference<JobStatus> status = new AtomicReference<>(JobStatus.QUEUED);
+  private final AtomicLong pairsEmitted = new AtomicLong();
+  private final CompletableFuture<Long> completion = new CompletableFuture<>();
+  private final AtomicBoolean slotReleased = new AtomicBoolean();
+  private final Runnable releaseSlot;
+  private volatile long totalPairs = -1;
+  private volatile ScheduledFuture<?> timeoutTask;
+  private Throwable failure;
+
+  /**
+   * Constructor
+   * @param id Job identifier assigned by the scheduler
+   * @param releaseSlot Returns the job's scheduler slot; run exactly once
+   */
+  ProductJobHandle(long id, Runnable releaseSlot) {
+      this.id = id;
+      this.releaseSlot = releaseSlot;
+  }
+
+  /**
+   * Get the job identifier
+   * @return job id
+   */
+  public long getId() {
+      return id;
+  }
+
+  /**
+   * Get the current status
+   * @return job status
+   */
+  public JobStatus getStatus() {
+      return status.get();
+  }
+
+  /**
+   * Get the number of pairs pushed to the sink so far
+   * @return pairs emitted
+   */
+  public long getPairsEmitted() {
+      return pairsEmitted.get();
+  }
+
+  /**
+   * Get the total number of pairs the job will emit
+   * Known up front for full products; join jobs only know it once finished
+   * @return total pairs, or -1 while not yet known
+   */
+  public long getTotalPairs() {
+      return totalPairs;
+  }
+
+  /**
+   * Get the fraction of pairs emitted so far
+   * Join jobs report 0.0 until they finish; use getPairsEmitted() instead
+   * @return progress between 0.0 and 1.0
+   */
+  public double getProgress() {
+      if (status.get() == JobStatus.COMPLETED) {
+          return 1.0;
+      }
+      long total = totalPairs;
+      if (total <= 0) {
+          return 0.0;
+      }
+      return Math.min(1.0, (double) pairsEmitted.get() / total);
+  }
+
+  /**
+   * Cancel the job
+   * A queued job never starts and its handle completes at once. A running
+   * job stops at its next checkpoint and its handle completes when the
+   * worker has left the sink.
+   *
+   * @return true if this call cancelled the job, false if it had already finished
+   */
+  public boolean cancel() {
+      return finish(JobStatus.CANCELLED);
+  }
+
+  /**
+   * Check if the job has finished, successfully or not
+   * Unlike a terminal getStatus(), this also guarantees the sink is no longer in use
+   * @return true if await() would return without blocking
+   */
+  public boolean isDone() {
+      return completion.isDone();
+  }
+
+  /**
+   * Wait for the job to finish
+   *
+   * @return total pairs emitted
+   * @throws ExecutionException if the job failed or timed out
+   * @throws CancellationException if the job was cancelled
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public long await() throws ExecutionException, InterruptedException {
+      return completion.get();
+  }
+
+  /**
+   * Wait at most the given time for the job to finish
+   *
+   * @param timeout Maximum time to wait
+   * @param unit Unit of the timeout
+   * @return total pairs emitted
+   * @throws ExecutionException if the job failed or timed out
+   * @throws CancellationException if the job was cancelled
+   * @throws TimeoutException if the job is still running after the wait
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public long await(long timeout, TimeUnit unit)
+          throws ExecutionException, InterruptedException, TimeoutException {
+      return completion.get(timeout, unit);
+  }
+
+  /**
+   * Get a future completed with the total pairs emitted when the job finishes
+   * @return completion future
+   */
+  public CompletableFuture<Long> toCompletableFuture() {
+      return completion.thenApply(total -> total);
+  }
+
+  /**
+   * Move from QUEUED to RUNNING
+   * @return false if the job was cancelled before it started
+   */
+  boolean markRunning() {
+      return status.compareAndSet(JobStatus.QUEUED, JobStatus.RUNNING);
+  }
+
+  /**
+   * Attach the timer task enforcing this job's timeout
+   * It is cancelled when the job settles, so the timer queue does not keep
+   * the job's sets and sink alive after a job is cancelled while queued.
+   */
+  void setTimeoutTask(ScheduledFuture<?> timeoutTask) {
+      this.timeoutTask = timeoutTask;
+      if (completion.isDone()) {
+          timeoutTask.cancel(false);
+      }
+  }
+
+  void setTotalPairs(long totalPairs) {
+      this.totalPairs = totalPairs;
+  }
+
+  void addProgress(long pairs) {
+      pairsEmitted.addAndGet(pairs);
+  }
+
+  /**
+   * Check if the worker should stop: cancelled, timed out or failed
+   */
+  boolean isStopRequested() {
+      return status.get().isTerminal();
+  }
+
+  boolean complete() {
+      if (status.compareAndSet(JobStatus.RUNNING, JobStatus.COMPLETED)) {
+          totalPairs = pairsEmitted.get();
+          return true;
+      }
+      return false;
+  }
+
+  /**
+   * Record a failure; called only from the worker thread
+   */
+  boolean fail(Throwable cause) {
+      failure = cause;
+      return finish(JobStatus.FAILED);
+  }
+
+  boolean timeOut() {
+      return finish(JobStatus.TIMED_OUT);
+  }
+
+  /**
+   * Called by the worker once it will no longer touch the sink
+   * Frees the scheduler slot, completes the handle for await() and
+   * cancels the pending timeout, if any.
+   * A worker that unwinds without a terminal status fails the job,
+   * so the handle is always completed.
+   */
+  void settle() {
+      releaseSlot();
+
+      JobStatus current = status.get();
+      if (!current.isTerminal()) {
+          fail(new IllegalStateException("Job " + id + " settled while " + current));
+      }
+
+      switch (status.get()) {
+          case COMPLETED:
+              completion.complete(pairsEmitted.get());
+              break;
+          case CANCELLED:
+              completion.completeExceptionally(new CancellationException("Job " + id + " was cancelled"));
+              break;
+          case TIMED_OUT:
+              completion.completeExceptionally(new TimeoutException("Job " + id + " timed out"));
+              break;
+          default:
+              completion.completeExceptionally(failure);
+              break;
+      }
+
+      // Read after completing, so a task attached concurrently is cancelled by one side or the other
+      ScheduledFuture<?> task = timeoutTask;
+      if (task != null) {
+          task.cancel(false);
+      }
+  }
+
+  private void releaseSlot() {
+      if (slotReleased.compareAndSet(false, true)) {
+          releaseSlot.run();
+      }
+  }
+
+  /**
+   * Move to a terminal status unless the job already finished
+   * A job stopped while still queued will never reach a worker's sink,
+   * so it settles immediately; a running job is settled by its worker.
+   */
+  private boolean finish(JobStatus terminal) {
+      while (true) {
+          JobStatus current = status.get();
+          if (current.isTerminal()) {
+              return false;
+          }
+          if (status.compareAndSet(current, terminal)) {
+              if (current == JobStatus.QUEUED) {
+                  settle();
+              }
+              return true;
+          }
+      }
+  }
+}
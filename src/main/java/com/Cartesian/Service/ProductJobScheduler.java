@@ -0,0 +1,265 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+* Bounded scheduler for product jobs
+* Jobs run on a work-stealing ForkJoinPool and stream their pairs to the
+* job's sink. Each job holds one of maxPendingJobs slots from submission
+* until it finishes; further submissions are rejected so load stays bounded
+* under bursts. A job cancelled while queued frees its slot at once, but its
+* task stays in the pool's queue until a worker reaches and discards it.
+* Running jobs check for cancellation and timeouts every CHECK_INTERVAL pairs;
+* a job whose worker thread is interrupted is cancelled at that check.
+*/
+public class ProductJobScheduler implements AutoCloseable {
+
+  /**
+   * Default limit on unfinished jobs
+   */
+  public static final int DEFAULT_MAX_PENDING_JOBS = 1024;
+
+  /**
+   * Number of pairs emitted between cancellation checks
+   */
+  static final int CHECK_INTERVAL = 4096;
+
+  private final ForkJoinPool workers;
+  private final ScheduledThreadPoolExecutor timer;
+  private final Semaphore pendingSlots;
+  private final int maxPendingJobs;
+  private final AtomicLong nextJobId = new AtomicLong();
+  private final CartesianJoinService joinService = new CartesianJoinService();
+
+  /**
+   * Constructor using one worker per available processor
+   */
+  public ProductJobScheduler() {
+      this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PENDING_JOBS);
+  }
+
+  /**
+   * Constructor
+   * @param parallelism Number of worker threads
+   * @param maxPendingJobs Maximum number of unfinished jobs
+   */
+  public ProductJobScheduler(int parallelism, int maxPendingJobs) {
+      if (parallelism < 1 || maxPendingJobs < 1) {
+          throw new IllegalArgumentException("Parallelism and job limit must be positive");
+      }
+      this.workers = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+      this.pendingSlots = new Semaphore(maxPendingJobs);
+      this.maxPendingJobs = maxPendingJobs;
+
+      this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+          Thread thread = new Thread(runnable, "product-job-timer");
+          thread.setDaemon(true);
+          return thread;
+      });
+      // Drop cancelled timeouts right away instead of when they would have fired
+      timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Submit a job without a timeout
+   *
+   * @param job The job to run
+   * @return Handle for the job
+   * @throws InvalidSetException if the job's sets are invalid
+   * @throws RejectedExecutionException if the scheduler is full or shut down
+   */
+  public ProductJobHandle submit(ProductJob job) throws InvalidSetException {
+      return submit(job, 0, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Submit a job that is cancelled if it has not finished within the timeout
+   * The timeout counts from submission, so it includes time spent queued.
+   *
+   * @param job The job to run
+   * @param timeout Maximum run time, or 0 for none
+   * @param unit Unit of the timeout
+   * @return Handle for the job
+   * @throws InvalidSetException if the job's sets are invalid
+   * @throws RejectedExecutionException if the scheduler is full or shut down
+   */
+  public ProductJobHandle submit(ProductJob job, long timeout, TimeUnit unit) throws InvalidSetException {
+      if (job == null) {
+          throw new IllegalArgumentException("Job cannot be null");
+      }
+      CartesianProductService.validateSets(job.getSetA(), job.getSetB());
+
+      if (!pendingSlots.tryAcquire()) {
+          throw new RejectedExecutionException("Too many pending product jobs");
+      }
+
+      ProductJobHandle handle = new ProductJobHandle(nextJobId.incrementAndGet(), pendingSlots::release);
+      if (timeout > 0) {
+          handle.setTimeoutTask(timer.schedule(handle::timeOut, timeout, unit));
+      }
+
+      try {
+          workers.execute(() -> run(job, handle));
+      } catch (RejectedExecutionException e) {
+          handle.cancel();
+          throw e;
+      }
+
+      return handle;
+  }
+
+  /**
+   * Get the number of unfinished jobs, i.e. slots currently in use
+   * @return pending job count
+   */
+  public int getPendingJobs() {
+      return maxPendingJobs - pendingSlots.availablePermits();
+  }
+
+  /**
+   * Get the number of job timeouts still waiting on the timer
+   */
+  int getPendingTimeouts() {
+      return timer.getQueue().size();
+  }
+
+  /**
+   * Stop accepting jobs; already submitted jobs still run
+   */
+  public void shutdown() {
+      workers.shutdown();
+  }
+
+  /**
+   * Wait for submitted jobs to finish after shutdown
+   *
+   * @param timeout Maximum time to wait
+   * @param unit Unit of the timeout
+   * @return true if all jobs finished
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return workers.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Shut down, wait for submitted jobs to finish and release the timer thread
+   */
+  @Override
+  public void close() {
+      shutdown();
+      try {
+          while (!awaitTermination(1, TimeUnit.MINUTES)) {
+              // Keep waiting; running jobs honour their own timeouts
+          }
+      } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+      } finally {
+          timer.shutdownNow();
+      }
+  }
+
+  /**
+   * Run a job on a worker thread
+   */
+  private void run(ProductJob job, ProductJobHandle handle) {
+      if (!handle.markRunning()) {
+          return; // Cancelled or timed out while queued; the handle is already settled
+      }
+      try {
+          if (job.isJoin()) {
+              runJoin(job, handle);
+          } else {
+              runProduct(job, handle);
+          }
+          handle.complete();
+      } catch (JobStoppedException e) {
+          // Status was already set by cancel() or the timeout
+      } catch (Throwable t) {
+          handle.fail(t);
+      } finally {
+          // An interrupt raised by this job's sink must not cancel the next job on this worker
+          Thread.interrupted();
+          handle.settle();
+      }
+  }
+
+  /**
+   * Stream A × B to the sink in A-major order
+   */
+  private void runProduct(ProductJob job, ProductJobHandle handle) {
+      List<SetElement> setA = job.getSetA();
+      List<SetElement> setB = job.getSetB();
+      Consumer<CartesianPair> sink = job.getSink();
+
+      handle.setTotalPairs((long) setA.size() * setB.size());
+
+      int sinceCheck = 0;
+      for (SetElement elementA : setA) {
+          for (SetElement elementB : setB) {
+              sink.accept(new CartesianPair(elementA, elementB));
+              if (++sinceCheck == CHECK_INTERVAL) {
+                  handle.addProgress(sinceCheck);
+                  sinceCheck = 0;
+                  checkStopped(handle);
+              }
+          }
+      }
+      handle.addProgress(sinceCheck);
+  }
+
+  /**
+   * Stream the equi-join matches to the sink as the join finds them
+   * Cancellation is checked while pairs are emitted; building the hash
+   * table or sorting the inputs is not interrupted, but costs only
+   * O(|A| + |B|) or O(n log n) in the input sizes.
+   */
+  private void runJoin(ProductJob job, ProductJobHandle handle) throws InvalidSetException {
+      Consumer<CartesianPair> sink = job.getSink();
+      int[] sinceCheck = new int[1];
+
+      joinService.equiJoin(job.getSetA(), job.getSetB(), job.getJoinStrategy(), pair -> {
+          sink.accept(pair);
+          if (++sinceCheck[0] == CHECK_INTERVAL) {
+              handle.addProgress(sinceCheck[0]);
+              sinceCheck[0] = 0;
+              checkStopped(handle);
+          }
+      });
+      handle.addProgress(sinceCheck[0]);
+  }
+
+  /**
+   * Unwind if the job was stopped, treating an interrupt as a cancellation
+   * The status is terminal before the exception is thrown, so settle()
+   * always has a verdict to report.
+   */
+  private void checkStopped(ProductJobHandle handle) {
+      if (Thread.currentThread().isInterrupted()) {
+          handle.cancel();
+      }
+      if (handle.isStopRequested()) {
+          throw new JobStoppedException();
+      }
+  }
+
+  /**
+   * Unwinds a worker when its job was cancelled or timed out
+   */
+  private static final class JobStoppedException extends RuntimeException {
+      private JobStoppedException() {
+          super(null, null, false, false);
+      }
+  }
+}
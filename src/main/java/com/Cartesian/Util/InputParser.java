@@ -7,11 +7,14 @@ import com.Cartesian.exception.InvalidSetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
 * Utility class for parsing user input into sets
 * Handles various input formats and validates data
+* Instances hold no mutable state and can be shared between threads
+* as long as the warning handler is thread-safe
 */
 public class InputParser {
   
@@ -19,6 +22,24 @@ public class InputParser {
   private static final String SET_NOTATION_START = "{";
   private static final String SET_NOTATION_END = "}";
   
+  private final Consumer<String> warningHandler;
+  
+  /**
+   * Constructor
+   * Warnings are printed to standard output
+   */
+  public InputParser() {
+      this(System.out::println);
+  }
+  
+  /**
+   * Constructor
+   * @param warningHandler Receives warnings such as duplicate elements (null discards them)
+   */
+  public InputParser(Consumer<String> warningHandler) {
+      this.warningHandler = warningHandler != null ? warningHandler : message -> { };
+  }
+  
   /**
    * Parse a comma-separated string into a list of SetElements
    * Supports various formats:
@@ -76,7 +97,7 @@ public class InputParser {
               .count();
       
       if (distinctCount < setElements.size()) {
-          System.out.println("Warning: Set " + setName + " contains duplicate elements. " +
+          warningHandler.accept("Warning: Set " + setName + " contains duplicate elements. " +
                            "In mathematical sets, duplicates are typically ignored.");
       }
       
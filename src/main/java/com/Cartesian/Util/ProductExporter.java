@@ -0,0 +1,533 @@
+package com.Cartesian.Util;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.Service.CartesianProductService;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+* Utility class for exporting Cartesian products in factored form
+* A product in A-major order is a sequence of runs: one element a followed
+* by a block of B elements. Each distinct block is written once and every
+* run stores only its a and a block reference, so A × B takes
+* O(|A| + |B|) bytes instead of O(|A| × |B|).
+*
+* Format:
+* - header: magic, version, flags (FLAG_DEFLATE if chunks are compressed)
+* - body: BLOCK and RUN records, blocks before their first use, then an
+*   END record with the total pair count
+* - the body is split into chunks of at most CHUNK_SIZE bytes, each written
+*   as raw length, stored length and data (deflated on its own if compressed),
+*   followed by an empty chunk; the decoder therefore never reads past the export
+*/
+public class ProductExporter {
+
+  private static final int MAGIC = 0x43505846; // "CPXF"
+  private static final byte VERSION = 1;
+  private static final byte FLAG_DEFLATE = 1;
+
+  private static final byte TAG_END = 0;
+  private static final byte TAG_BLOCK = 1;
+  private static final byte TAG_RUN = 2;
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  // Deflate never expands a chunk by more than a few bytes per 16 KB
+  private static final int MAX_STORED_CHUNK = CHUNK_SIZE + CHUNK_SIZE / 2;
+  private static final int MAX_STRING_BYTES = 1 << 24;
+  private static final int NULL_STRING = -1;
+
+  /**
+   * Export A × B directly from the sets without building any pairs
+   *
+   * @param setA First set
+   * @param setB Second set
+   * @param out Destination stream (left open)
+   * @param compress true to deflate the body
+   * @return Number of pairs exported
+   * @throws InvalidSetException if sets are invalid
+   * @throws IOException if writing fails
+   */
+  public long exportProduct(List<SetElement> setA, List<SetElement> setB, OutputStream out, boolean compress)
+          throws InvalidSetException, IOException {
+
+      CartesianProductService.validateSets(setA, setB);
+
+      ChunkedOutputStream body = openBody(out, compress);
+      try {
+          DataOutputStream data = new DataOutputStream(body);
+
+          writeBlock(data, setB);
+          for (SetElement elementA : setA) {
+              writeRun(data, elementA, 0);
+          }
+
+          long total = (long) setA.size() * setB.size();
+          finishBody(data, body, total);
+          return total;
+      } finally {
+          body.end();
+      }
+  }
+
+  /**
+   * Export an arbitrary list of pairs, e.g. a filtered product or join result
+   * Consecutive pairs sharing the same first element form a run; runs whose
+   * B block was already written reuse it by reference.
+   *
+   * @param product Pairs to export, ideally in A-major order
+   * @param out Destination stream (left open)
+   * @param compress true to deflate the body
+   * @return Number of pairs exported
+   * @throws IOException if writing fails
+   */
+  public long exportPairs(List<CartesianPair> product, OutputStream out, boolean compress) throws IOException {
+      if (product == null) {
+          throw new IllegalArgumentException("Product cannot be null");
+      }
+
+      ChunkedOutputStream body = openBody(out, compress);
+      try {
+          DataOutputStream data = new DataOutputStream(body);
+
+          Map<List<List<String>>, Integer> blockIds = new HashMap<>();
+          int index = 0;
+
+          while (index < product.size()) {
+              SetElement first = product.get(index).getFirst();
+
+              // Collect the run of pairs sharing this first element
+              int end = index;
+              List<SetElement> block = new ArrayList<>();
+              while (end < product.size() && sameElement(product.get(end).getFirst(), first)) {
+                  block.add(product.get(end).getSecond());
+                  end++;
+              }
+
+              List<List<String>> key = blockKey(block);
+              Integer blockId = blockIds.get(key);
+              if (blockId == null) {
+                  blockId = blockIds.size();
+                  blockIds.put(key, blockId);
+                  writeBlock(data, block);
+              }
+
+              writeRun(data, first, blockId);
+              index = end;
+          }
+
+          finishBody(data, body, product.size());
+          return product.size();
+      } finally {
+          body.end();
+      }
+  }
+
+  /**
+   * Decode an export and stream its pairs to a sink in the original order
+   * Only the B blocks are held in memory; pairs are rebuilt one at a time.
+   * Reads exactly the bytes of one export, so several exports written
+   * back to back can be decoded one after another from the same stream.
+   *
+   * @param in Source stream (left open, positioned after the export)
+   * @param sink Receives each decoded pair
+   * @return Number of pairs decoded
+   * @throws IOException if reading fails or the data is not a valid export
+   */
+  public long decode(InputStream in, Consumer<CartesianPair> sink) throws IOException {
+      try {
+          DataInputStream header = new DataInputStream(in);
+          if (header.readInt() != MAGIC) {
+              throw new IOException("Not a product export");
+          }
+          byte version = header.readByte();
+          if (version != VERSION) {
+              throw new IOException("Unsupported product export version " + version);
+          }
+          byte flags = header.readByte();
+
+          ChunkedInputStream body = new ChunkedInputStream(in, (flags & FLAG_DEFLATE) != 0);
+          try {
+              return decodeBody(new DataInputStream(body), body, sink);
+          } finally {
+              body.end();
+          }
+      } catch (EOFException e) {
+          throw new IOException("Product export is truncated", e);
+      }
+  }
+
+  /**
+   * Decode an export into a list
+   *
+   * @param in Source stream (left open, positioned after the export)
+   * @return List of decoded pairs
+   * @throws IOException if reading fails or the data is not a valid export
+   */
+  public List<CartesianPair> decodeAll(InputStream in) throws IOException {
+      List<CartesianPair> product = new ArrayList<>();
+      decode(in, product::add);
+      return product;
+  }
+
+  private long decodeBody(DataInputStream data, ChunkedInputStream body, Consumer<CartesianPair> sink)
+          throws IOException {
+
+      List<SetElement[]> blocks = new ArrayList<>();
+      long count = 0;
+
+      while (true) {
+          byte tag = data.readByte();
+
+          if (tag == TAG_BLOCK) {
+              int size = data.readInt();
+              if (size < 0) {
+                  throw new IOException("Block has negative size " + size);
+              }
+              // Grow while reading so a corrupt size cannot force a huge allocation
+              List<SetElement> block = new ArrayList<>(Math.min(size, 1024));
+              for (int i = 0; i < size; i++) {
+                  block.add(readElement(data));
+              }
+              blocks.add(block.toArray(new SetElement[0]));
+          } else if (tag == TAG_RUN) {
+              SetElement first = readElement(data);
+              int blockId = data.readInt();
+              if (blockId < 0 || blockId >= blocks.size()) {
+                  throw new IOException("Run references unknown block " + blockId);
+              }
+              for (SetElement second : blocks.get(blockId)) {
+                  sink.accept(new CartesianPair(first, second));
+                  count++;
+              }
+          } else if (tag == TAG_END) {
+              long expected = data.readLong();
+              if (expected != count) {
+                  throw new IOException("Product export is corrupt: expected " + expected +
+                                        " pairs but decoded " + count);
+              }
+              // Consume the closing empty chunk so the stream ends up after the export
+              if (body.read() != -1) {
+                  throw new IOException("Product export has data after the END record");
+              }
+              return count;
+          } else {
+              throw new IOException("Unknown record tag " + tag);
+          }
+      }
+  }
+
+  /**
+   * Write the header and return the chunked body stream
+   */
+  private ChunkedOutputStream openBody(OutputStream out, boolean compress) throws IOException {
+      if (out == null) {
+          throw new IllegalArgumentException("Output stream cannot be null");
+      }
+
+      DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(MAGIC);
+      header.writeByte(VERSION);
+      header.writeByte(compress ? FLAG_DEFLATE : 0);
+
+      return new ChunkedOutputStream(out, compress);
+  }
+
+  /**
+   * Write the END record and the closing chunk without closing the caller's stream
+   */
+  private void finishBody(DataOutputStream data, ChunkedOutputStream body, long total) throws IOException {
+      data.writeByte(TAG_END);
+      data.writeLong(total);
+      data.flush();
+      body.finish();
+  }
+
+  private void writeBlock(DataOutputStream data, List<SetElement> block) throws IOException {
+      data.writeByte(TAG_BLOCK);
+      data.writeInt(block.size());
+      for (SetElement element : block) {
+          writeElement(data, element);
+      }
+  }
+
+  private void writeRun(DataOutputStream data, SetElement first, int blockId) throws IOException {
+      data.writeByte(TAG_RUN);
+      writeElement(data, first);
+      data.writeInt(blockId);
+  }
+
+  private void writeElement(DataOutputStream data, SetElement element) throws IOException {
+      writeString(data, element.getValue());
+      writeString(data, element.getSetName());
+  }
+
+  private SetElement readElement(DataInputStream data) throws IOException {
+      String value = readString(data);
+      String setName = readString(data);
+      if (value == null) {
+          throw new IOException("Element value cannot be null");
+      }
+      return new SetElement(value, setName);
+  }
+
+  /**
+   * Write a string as its UTF-8 byte length followed by the bytes
+   * Unlike writeUTF this has no 64 KB limit
+   */
+  private void writeString(DataOutputStream data, String value) throws IOException {
+      if (value == null) {
+          data.writeInt(NULL_STRING);
+          return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length > MAX_STRING_BYTES) {
+          throw new IOException("Element of " + bytes.length + " bytes exceeds export limit of " + MAX_STRING_BYTES);
+      }
+      data.writeInt(bytes.length);
+      data.write(bytes);
+  }
+
+  private String readString(DataInputStream data) throws IOException {
+      int length = data.readInt();
+      if (length == NULL_STRING) {
+          return null;
+      }
+      if (length < 0 || length > MAX_STRING_BYTES) {
+          throw new IOException("Invalid element length " + length);
+      }
+      byte[] bytes = new byte[length];
+      data.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Elements are equal by value only, but the export also keeps the set name
+   */
+  private boolean sameElement(SetElement x, SetElement y) {
+      return x.equals(y) && Objects.equals(x.getSetName(), y.getSetName());
+  }
+
+  private List<List<String>> blockKey(List<SetElement> block) {
+      List<List<String>> key = new ArrayList<>(block.size());
+      for (SetElement element : block) {
+          key.add(Arrays.asList(element.getValue(), element.getSetName()));
+      }
+      return key;
+  }
+
+  /**
+   * Buffers the body into chunks and writes each one length-prefixed,
+   * deflating it independently when compression is on
+   */
+  private static final class ChunkedOutputStream extends OutputStream {
+      private final DataOutputStream out;
+      private final Deflater deflater;
+      private final byte[] buffer = new byte[CHUNK_SIZE];
+      private byte[] compressed;
+      private int count;
+
+      private ChunkedOutputStream(OutputStream out, boolean compress) {
+          this.out = new DataOutputStream(out);
+          this.deflater = compress ? new Deflater(Deflater.BEST_COMPRESSION) : null;
+          this.compressed = compress ? new byte[MAX_STORED_CHUNK] : null;
+      }
+
+      @Override
+      public void write(int b) throws IOException {
+          if (count == buffer.length) {
+              writeChunk();
+          }
+          buffer[count++] = (byte) b;
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+          while (len > 0) {
+              if (count == buffer.length) {
+                  writeChunk();
+              }
+              int n = Math.min(len, buffer.length - count);
+              System.arraycopy(b, off, buffer, count, n);
+              count += n;
+              off += n;
+              len -= n;
+          }
+      }
+
+      /**
+       * Write any buffered data and the closing empty chunk
+       */
+      private void finish() throws IOException {
+          if (count > 0) {
+              writeChunk();
+          }
+          out.writeInt(0);
+          out.writeInt(0);
+          out.flush();
+      }
+
+      /**
+       * Release the deflater's native memory
+       */
+      private void end() {
+          if (deflater != null) {
+              deflater.end();
+          }
+      }
+
+      private void writeChunk() throws IOException {
+          if (deflater == null) {
+              out.writeInt(count);
+              out.writeInt(count);
+              out.write(buffer, 0, count);
+          } else {
+              deflater.reset();
+              deflater.setInput(buffer, 0, count);
+              deflater.finish();
+              int stored = 0;
+              while (!deflater.finished()) {
+                  if (stored == compressed.length) {
+                      compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                  }
+                  stored += deflater.deflate(compressed, stored, compressed.length - stored);
+              }
+              if (stored > MAX_STORED_CHUNK) {
+                  throw new IOException("Deflated chunk of " + stored + " bytes exceeds format limit");
+              }
+              out.writeInt(count);
+              out.writeInt(stored);
+              out.write(compressed, 0, stored);
+          }
+          count = 0;
+      }
+  }
+
+  /**
+   * Reads the chunks written by ChunkedOutputStream, one at a time,
+   * and never reads beyond the closing empty chunk
+   */
+  private static final class ChunkedInputStream extends InputStream {
+      private final DataInputStream in;
+      private final Inflater inflater;
+      private final byte[] buffer = new byte[CHUNK_SIZE];
+      private final byte[] stored;
+      private int position;
+      private int limit;
+      private boolean ended;
+
+      private ChunkedInputStream(InputStream in, boolean compressed) {
+          this.in = new DataInputStream(in);
+          this.inflater = compressed ? new Inflater() : null;
+          this.stored = compressed ? new byte[MAX_STORED_CHUNK] : null;
+      }
+
+      @Override
+      public int read() throws IOException {
+          if (!fill()) {
+              return -1;
+          }
+          return buffer[position++] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+          if (len == 0) {
+              return 0;
+          }
+          if (!fill()) {
+              return -1;
+          }
+          int n = Math.min(len, limit - position);
+          System.arraycopy(buffer, position, b, off, n);
+          position += n;
+          return n;
+      }
+
+      /**
+       * Release the inflater's native memory
+       */
+      private void end() {
+          if (inflater != null) {
+              inflater.end();
+          }
+      }
+
+      /**
+       * Make sure unread bytes are buffered
+       * @return false once the closing chunk has been read
+       */
+      private boolean fill() throws IOException {
+          while (position == limit) {
+              if (ended) {
+                  return false;
+              }
+              readChunk();
+          }
+          return true;
+      }
+
+      private void readChunk() throws IOException {
+          int rawLength = in.readInt();
+          int storedLength = in.readInt();
+
+          if (rawLength < 0 || rawLength > CHUNK_SIZE || storedLength < 0 || storedLength > MAX_STORED_CHUNK) {
+              throw new IOException("Invalid chunk lengths " + rawLength + "/" + storedLength);
+          }
+          if (rawLength == 0) {
+              ended = true;
+              return;
+          }
+
+          if (inflater == null) {
+              if (storedLength != rawLength) {
+                  throw new IOException("Uncompressed chunk lengths differ");
+              }
+              in.readFully(buffer, 0, rawLength);
+          } else {
+              in.readFully(stored, 0, storedLength);
+              inflater.reset();
+              inflater.setInput(stored, 0, storedLength);
+              try {
+                  int inflated = 0;
+                  while (inflated < rawLength && !inflater.finished()) {
+                      int n = inflater.inflate(buffer, inflated, rawLength - inflated);
+                      if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                          break;
+                      }
+                      inflated += n;
+                  }
+                  // With the output exactly full, zlib may not have read the end marker yet
+                  if (inflated == rawLength && !inflater.finished() && inflater.inflate(new byte[1]) != 0) {
+                      throw new IOException("Deflated chunk is longer than declared");
+                  }
+                  if (inflated != rawLength || !inflater.finished()) {
+                      throw new IOException("Deflated chunk is corrupt");
+                  }
+              } catch (DataFormatException e) {
+                  throw new IOException("Deflated chunk is corrupt", e);
+              }
+          }
+
+          position = 0;
+          limit = rawLength;
+      }
+  }
+}
@@ -0,0 +1,89 @@
+package com.Cartesian.Model;
+
+import com.Cartesian.Service.CartesianProductService;
+import com.Cartesian.Util.InputParser;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for ColumnarProduct
+ */
+public class ColumnarProductTest extends TestCase {
+
+    private final InputParser inputParser = new InputParser(null);
+    private final CartesianProductService productService = new CartesianProductService();
+
+    public void testPairViewMatchesGeneratedProduct() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "2", "x" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "y", "3", "4.5" }, "B");
+
+        ColumnarProduct columnar = productService.generateColumnarProduct(setA, setB);
+
+        assertEquals(9, columnar.size());
+        assertEquals(productService.generateCartesianProduct(setA, setB), columnar.asPairList());
+        assertEquals(2, columnar.getFirstId(7));
+        assertEquals(1, columnar.getSecondId(7));
+    }
+
+    public void testFilterAndAggregatesMatchListProduct() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "2", "x", "-3" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "y", "3", "4.5", "z" }, "B");
+
+        List<CartesianPair> product = productService.generateCartesianProduct(setA, setB);
+        ColumnarProduct columnar = productService.generateColumnarProduct(setA, setB);
+
+        List<CartesianPair> numeric = productService.filterNumericPairs(product);
+        assertEquals(numeric, columnar.filterNumeric().asPairList());
+        assertEquals(numeric.size(), columnar.countNumericPairs());
+        assertEquals(productService.generateStatistics(product), productService.generateStatistics(columnar));
+
+        double sum = 0;
+        double products = 0;
+        for (CartesianPair pair : numeric) {
+            sum += pair.getSum();
+            products += pair.getProduct();
+        }
+        assertEquals(sum, columnar.sumOfSums(), 1e-9);
+        assertEquals(products, columnar.sumOfProducts(), 1e-9);
+    }
+
+    public void testFilterWithSinglePredicate() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "2" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "x", "y", "z" }, "B");
+        ColumnarProduct columnar = productService.generateColumnarProduct(setA, setB);
+
+        ColumnarProduct filtered = columnar.filter(null, element -> !element.getValue().equals("y"));
+
+        assertEquals(4, filtered.size());
+        assertEquals("[(1, x), (1, z), (2, x), (2, z)]", filtered.asPairList().toString());
+    }
+
+    public void testDictionariesAreCopied() throws InvalidSetException {
+        List<SetElement> setA = new ArrayList<>(inputParser.parseSetFromArray(new String[] { "1", "2", "3" }, "A"));
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "x", "y" }, "B");
+
+        ColumnarProduct columnar = productService.generateColumnarProduct(setA, setB);
+        ColumnarProduct filtered = columnar.filter(null, null);
+        setA.remove(0);
+
+        assertEquals("(1, x)", columnar.getPair(0).toString());
+        assertEquals("(3, y)", columnar.getPair(5).toString());
+        assertEquals("(1, x)", filtered.getPair(0).toString());
+    }
+
+    public void testRowOutOfRange() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "2" }, "B");
+        ColumnarProduct columnar = productService.generateColumnarProduct(setA, setB);
+        try {
+            columnar.getPair(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.Util.InputParser;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for CartesianJoinService
+ */
+public class CartesianJoinServiceTest extends TestCase {
+
+    private final InputParser inputParser = new InputParser(null);
+    private final CartesianProductService productService = new CartesianProductService();
+    private final CartesianJoinService joinService = new CartesianJoinService();
+
+    public void testHashAndSortMergeAgreeWithDuplicateKeys() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "2", "2", "3", "x", "2" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "2", "3", "3", "2", "y" }, "B");
+
+        List<CartesianPair> expected = filteredProduct(setA, setB);
+        List<CartesianPair> hash = joinService.equiJoin(setA, setB, JoinStrategy.HASH);
+        List<CartesianPair> sortMerge = joinService.equiJoin(setA, setB, JoinStrategy.SORT_MERGE);
+
+        // 3 copies of "2" in A × 2 in B, plus 1 × 2 for "3"
+        assertEquals(8, expected.size());
+        assertEquals(expected, hash);
+        assertEquals(counts(expected), counts(sortMerge));
+    }
+
+    public void testHashWithSmallerA() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "3", "1", "3" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "1", "2", "3", "4", "3", "1", "5" }, "B");
+
+        List<CartesianPair> expected = filteredProduct(setA, setB);
+        List<CartesianPair> hash = joinService.equiJoin(setA, setB, JoinStrategy.HASH);
+
+        // Filtering B by the keys of A must keep the A-major order of the full product
+        assertEquals(expected, hash);
+        assertEquals(counts(expected), counts(joinService.equiJoin(setA, setB, JoinStrategy.SORT_MERGE)));
+    }
+
+    public void testAutoLimitsTheHashedSide() {
+        int limit = CartesianJoinService.HASH_BUILD_LIMIT;
+        assertEquals(JoinStrategy.HASH, joinService.chooseStrategy(10, 1000, JoinStrategy.AUTO));
+        assertEquals(JoinStrategy.HASH, joinService.chooseStrategy(10, 1000, null));
+        // The table is built from B, so only the size of B counts
+        assertEquals(JoinStrategy.HASH, joinService.chooseStrategy(limit + 1, 10, JoinStrategy.AUTO));
+        assertEquals(JoinStrategy.SORT_MERGE, joinService.chooseStrategy(10, limit + 1, JoinStrategy.AUTO));
+        assertEquals(JoinStrategy.SORT_MERGE, joinService.chooseStrategy(1, 1, JoinStrategy.SORT_MERGE));
+    }
+
+    public void testBandJoinWidthZeroMatchesEqualNumbers() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "2", "2.0" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "2", "3" }, "B");
+
+        List<CartesianPair> result = joinService.bandJoin(setA, setB, 0);
+
+        assertEquals(2, result.size());
+        assertEquals("(2, 2)", result.get(0).toString());
+        assertEquals("(2.0, 2)", result.get(1).toString());
+    }
+
+    public void testBandJoinSkipsNonNumericAndNaN() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "x", "NaN", "5", "10" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "NaN", "y", "4", "6", "7.5" }, "B");
+
+        List<CartesianPair> result = joinService.bandJoin(setA, setB, 1.5);
+
+        List<CartesianPair> expected = new ArrayList<>();
+        for (CartesianPair pair : productService.generateCartesianProduct(setA, setB)) {
+            if (pair.isNumericPair()
+                    && Math.abs(pair.getFirst().getNumericValue() - pair.getSecond().getNumericValue()) <= 1.5) {
+                expected.add(pair);
+            }
+        }
+        assertEquals(counts(expected), counts(result));
+        assertEquals(2, result.size());
+    }
+
+    public void testBandJoinRejectsNegativeWidth() throws InvalidSetException {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "1" }, "B");
+        try {
+            joinService.bandJoin(setA, setB, -1);
+            fail("Expected InvalidSetException");
+        } catch (InvalidSetException e) {
+            // expected
+        }
+    }
+
+    public void testEmptySetRejected() throws InvalidSetException {
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "1" }, "B");
+        try {
+            joinService.equiJoin(new ArrayList<SetElement>(), setB, JoinStrategy.HASH);
+            fail("Expected InvalidSetException");
+        } catch (InvalidSetException e) {
+            assertEquals("Set A cannot be empty", e.getMessage());
+        }
+    }
+
+    private List<CartesianPair> filteredProduct(List<SetElement> setA, List<SetElement> setB)
+            throws InvalidSetException {
+        List<CartesianPair> result = new ArrayList<>();
+        for (CartesianPair pair : productService.generateCartesianProduct(setA, setB)) {
+            if (pair.getFirst().getValue().equals(pair.getSecond().getValue())) {
+                result.add(pair);
+            }
+        }
+        return result;
+    }
+
+    private static Map<CartesianPair, Integer> counts(List<CartesianPair> pairs) {
+        Map<CartesianPair, Integer> counts = new HashMap<>();
+        for (CartesianPair pair : pairs) {
+            counts.merge(pair, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,153 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.ProductDelta;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.Util.InputParser;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for IncrementalProduct and FilteredProductView
+ */
+public class IncrementalProductTest extends TestCase {
+
+    private final InputParser inputParser = new InputParser(null);
+    private final CartesianProductService productService = new CartesianProductService();
+    private List<SetElement> setA;
+    private List<SetElement> setB;
+
+    @Override
+    protected void setUp() throws Exception {
+        setA = inputParser.parseSetFromArray(new String[] { "1" }, "A");
+        setB = inputParser.parseSetFromArray(new String[] { "2" }, "B");
+    }
+
+    public void testDeltasMatchRecomputation() throws InvalidSetException {
+        Random random = new Random(42);
+        IncrementalProduct product = new IncrementalProduct(
+                inputParser.parseSetFromArray(new String[] { "1", "2", "x" }, "A"),
+                inputParser.parseSetFromArray(new String[] { "3", "y" }, "B"));
+        FilteredProductView numericView = product.filteredView(CartesianPair::isNumericPair);
+
+        for (int step = 0; step < 200; step++) {
+            Set<CartesianPair> before = new HashSet<>(product.getProduct());
+
+            List<SetElement> change = new ArrayList<>();
+            String setName = random.nextBoolean() ? "A" : "B";
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                String value = random.nextInt(4) == 0 ? "v" + random.nextInt(5) : String.valueOf(random.nextInt(8));
+                change.add(new SetElement(value, setName));
+            }
+
+            ProductDelta delta;
+            boolean add = random.nextBoolean();
+            if (setName.equals("A")) {
+                delta = add ? product.addToA(change) : product.removeFromA(change);
+            } else {
+                delta = add ? product.addToB(change) : product.removeFromB(change);
+            }
+
+            List<CartesianPair> recomputed = recompute(product);
+            Set<CartesianPair> after = new HashSet<>(recomputed);
+
+            Set<CartesianPair> expectedAdded = new HashSet<>(after);
+            expectedAdded.removeAll(before);
+            Set<CartesianPair> expectedRemoved = new HashSet<>(before);
+            expectedRemoved.removeAll(after);
+
+            assertEquals(expectedAdded, new HashSet<>(delta.getAdded()));
+            assertEquals(expectedRemoved, new HashSet<>(delta.getRemoved()));
+            assertEquals(delta.getAdded().size(), new HashSet<>(delta.getAdded()).size());
+            assertEquals(delta.getRemoved().size(), new HashSet<>(delta.getRemoved()).size());
+
+            assertEquals(recomputed, product.getProduct());
+            assertEquals(productService.generateStatistics(recomputed), product.generateStatistics());
+            assertEquals(new HashSet<>(productService.filterNumericPairs(recomputed)), new HashSet<>(numericView));
+        }
+    }
+
+    public void testRemovedPairsKeepStoredSetName() throws InvalidSetException {
+        IncrementalProduct product = new IncrementalProduct(setA, setB);
+
+        ProductDelta delta = product.removeFromA(inputParser.parseSetFromArray(new String[] { "1" }, "other"));
+
+        assertEquals("(1 ∈ A, 2 ∈ B)", delta.getRemoved().get(0).toDetailedString());
+    }
+
+    public void testClosedViewStopsUpdating() throws InvalidSetException {
+        IncrementalProduct product = new IncrementalProduct(setA, setB);
+        FilteredProductView view = product.filteredView(pair -> true);
+        assertEquals(1, view.size());
+
+        view.close();
+        product.addToA(inputParser.parseSetFromArray(new String[] { "3" }, "A"));
+
+        assertEquals(1, view.size());
+        assertEquals(2, product.getCardinality());
+    }
+
+    public void testViewIsReadOnly() throws InvalidSetException {
+        IncrementalProduct product = new IncrementalProduct(setA, setB);
+        FilteredProductView view = product.filteredView(pair -> true);
+        try {
+            view.clear();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(1, view.size());
+        }
+    }
+
+    public void testFailingListenerDoesNotStarveOthers() throws InvalidSetException {
+        IncrementalProduct product = new IncrementalProduct(setA, setB);
+        AtomicInteger notified = new AtomicInteger();
+        product.addListener(delta -> {
+            throw new IllegalStateException("first");
+        });
+        product.addListener(delta -> notified.incrementAndGet());
+        FilteredProductView view = product.filteredView(pair -> true);
+
+        try {
+            product.addToB(inputParser.parseSetFromArray(new String[] { "3" }, "B"));
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("first", e.getMessage());
+        }
+
+        assertEquals(1, notified.get());
+        assertEquals(2, view.size());
+        assertEquals(2, product.getCardinality());
+    }
+
+    public void testEmptyChangeIsNotPublished() throws InvalidSetException {
+        IncrementalProduct product = new IncrementalProduct(setA, setB);
+        AtomicInteger notified = new AtomicInteger();
+        product.addListener(delta -> notified.incrementAndGet());
+
+        assertTrue(product.addToA(inputParser.parseSetFromArray(new String[] { "1" }, "A")).isEmpty());
+        assertTrue(product.removeFromB(inputParser.parseSetFromArray(new String[] { "9" }, "B")).isEmpty());
+        assertEquals(0, notified.get());
+    }
+
+    /**
+     * Rebuild the product from scratch using the distinct current elements
+     */
+    private List<CartesianPair> recompute(IncrementalProduct product) throws InvalidSetException {
+        List<SetElement> distinctA = new ArrayList<>(new LinkedHashSet<>(product.getSetA()));
+        List<SetElement> distinctB = new ArrayList<>(new LinkedHashSet<>(product.getSetB()));
+        if (distinctA.isEmpty() || distinctB.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return productService.generateCartesianProduct(distinctA, distinctB);
+    }
+}
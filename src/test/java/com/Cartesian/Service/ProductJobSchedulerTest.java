@@ -0,0 +1,232 @@
+package com.Cartesian.Service;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.Util.InputParser;
+import com.Cartesian.exception.InvalidSetException;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for ProductJobScheduler and ProductJobHandle
+ */
+public class ProductJobSchedulerTest extends TestCase {
+
+    private static final long WAIT_SECONDS = 10;
+
+    private final InputParser inputParser = new InputParser(null);
+    private ProductJobScheduler scheduler;
+    private List<SetElement> setA;
+    private List<SetElement> setB;
+
+    @Override
+    protected void setUp() throws Exception {
+        // One worker, so a blocked job keeps the next one queued
+        scheduler = new ProductJobScheduler(1, 2);
+        setA = inputParser.parseRange(1, 100, "A");
+        setB = inputParser.parseRange(1, 100, "B");
+    }
+
+    @Override
+    protected void tearDown() {
+        scheduler.close();
+    }
+
+    public void testCompletesAndReportsProgress() throws Exception {
+        AtomicLong received = new AtomicLong();
+        ProductJobHandle handle = scheduler.submit(new ProductJob(setA, setB, pair -> received.incrementAndGet()));
+
+        assertEquals(10000, handle.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(10000, received.get());
+        assertEquals(JobStatus.COMPLETED, handle.getStatus());
+        assertEquals(1.0, handle.getProgress(), 0.0);
+        assertEquals(0, scheduler.getPendingJobs());
+    }
+
+    public void testJoinJobStreamsMatches() throws Exception {
+        AtomicLong received = new AtomicLong();
+        ProductJobHandle handle = scheduler.submit(
+                new ProductJob(setA, inputParser.parseRange(50, 500, "B"), JoinStrategy.AUTO,
+                               pair -> received.incrementAndGet()));
+
+        assertEquals(51, handle.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(51, received.get());
+        assertEquals(51, handle.getTotalPairs());
+    }
+
+    public void testRejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ProductJobHandle running = scheduler.submit(new ProductJob(setA, setB, blockingSink(new CountDownLatch(1), release)));
+        ProductJobHandle queued = scheduler.submit(new ProductJob(setA, setB, pair -> { }));
+        assertEquals(2, scheduler.getPendingJobs());
+
+        try {
+            scheduler.submit(new ProductJob(setA, setB, pair -> { }));
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        release.countDown();
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        queued.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(0, scheduler.getPendingJobs());
+    }
+
+    public void testCancelWhileQueued() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductJobHandle running = scheduler.submit(new ProductJob(setA, setB, blockingSink(started, release)));
+        AtomicLong received = new AtomicLong();
+        ProductJobHandle queued = scheduler.submit(new ProductJob(setA, setB, pair -> received.incrementAndGet()));
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertTrue(queued.cancel());
+        assertFalse(queued.cancel());
+        assertEquals(JobStatus.CANCELLED, queued.getStatus());
+        assertTrue(queued.isDone());
+        assertEquals(1, scheduler.getPendingJobs());
+        assertCancelled(queued);
+
+        release.countDown();
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(0, received.get());
+        assertEquals(0, scheduler.getPendingJobs());
+    }
+
+    public void testCancelWhileQueuedDropsTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductJobHandle running = scheduler.submit(new ProductJob(setA, setB, blockingSink(started, release)));
+        ProductJobHandle queued = scheduler.submit(new ProductJob(setA, setB, pair -> { }), 1, TimeUnit.HOURS);
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.getPendingTimeouts());
+
+        // The worker is still busy, so only the handle can drop the timeout
+        assertTrue(queued.cancel());
+        assertEquals(0, scheduler.getPendingTimeouts());
+
+        release.countDown();
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void testCancelWhileRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong received = new AtomicLong();
+        Consumer<CartesianPair> blocking = blockingSink(started, release);
+        ProductJobHandle handle = scheduler.submit(new ProductJob(setA, setB, pair -> {
+            received.incrementAndGet();
+            blocking.accept(pair);
+        }));
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertTrue(handle.cancel());
+        assertEquals(JobStatus.CANCELLED, handle.getStatus());
+        // The worker is still inside the sink, so the handle must not complete yet
+        assertFalse(handle.isDone());
+
+        release.countDown();
+        assertCancelled(handle);
+
+        long afterAwait = received.get();
+        assertTrue(afterAwait <= ProductJobScheduler.CHECK_INTERVAL);
+        assertEquals(0, scheduler.getPendingJobs());
+        scheduler.close();
+        assertEquals(afterAwait, received.get());
+    }
+
+    public void testTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ProductJobHandle handle = scheduler.submit(
+                new ProductJob(setA, setB, blockingSink(new CountDownLatch(1), release)), 50, TimeUnit.MILLISECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (handle.getStatus() != JobStatus.TIMED_OUT && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(JobStatus.TIMED_OUT, handle.getStatus());
+        release.countDown();
+
+        try {
+            handle.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals(0, scheduler.getPendingJobs());
+    }
+
+    public void testFailingSink() throws Exception {
+        ProductJobHandle handle = scheduler.submit(new ProductJob(setA, setB, pair -> {
+            throw new IllegalStateException("sink closed");
+        }));
+
+        try {
+            handle.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals("sink closed", e.getCause().getMessage());
+        }
+        assertEquals(JobStatus.FAILED, handle.getStatus());
+        assertEquals(0, scheduler.getPendingJobs());
+    }
+
+    public void testInterruptedWorkerCancelsJob() throws Exception {
+        // A sink that restores the interrupt flag, as catch (InterruptedException) blocks do
+        ProductJobHandle handle = scheduler.submit(new ProductJob(setA, setB, pair -> Thread.currentThread().interrupt()));
+
+        assertCancelled(handle);
+        assertTrue(handle.isDone());
+        assertEquals(JobStatus.CANCELLED, handle.getStatus());
+        assertEquals(0, scheduler.getPendingJobs());
+
+        // The same worker must survive and start the next job uninterrupted
+        AtomicLong received = new AtomicLong();
+        ProductJobHandle next = scheduler.submit(new ProductJob(setA, setB, pair -> received.incrementAndGet()));
+        assertEquals(10000, next.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(10000, received.get());
+    }
+
+    public void testInvalidSetsRejectedOnSubmit() {
+        try {
+            scheduler.submit(new ProductJob(null, setB, pair -> { }));
+            fail("Expected InvalidSetException");
+        } catch (InvalidSetException e) {
+            assertEquals(0, scheduler.getPendingJobs());
+        }
+    }
+
+    /**
+     * Sink that signals on its first pair, then blocks until released
+     */
+    private static Consumer<CartesianPair> blockingSink(CountDownLatch started, CountDownLatch release) {
+        return pair -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static void assertCancelled(ProductJobHandle handle) throws Exception {
+        try {
+            handle.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.Cartesian.Util;
+
+import com.Cartesian.Model.CartesianPair;
+import com.Cartesian.Model.SetElement;
+import com.Cartesian.Service.CartesianJoinService;
+import com.Cartesian.Service.CartesianProductService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for ProductExporter
+ */
+public class ProductExporterTest extends TestCase {
+
+    private final InputParser inputParser = new InputParser(null);
+    private final CartesianProductService productService = new CartesianProductService();
+    private final ProductExporter exporter = new ProductExporter();
+
+    public void testExportProductRoundTrip() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 1000, "A");
+        List<SetElement> setB = inputParser.parseRange(1, 1000, "B");
+        List<CartesianPair> product = productService.generateCartesianProduct(setA, setB);
+
+        byte[] plain = exportProduct(setA, setB, false);
+        byte[] deflated = exportProduct(setA, setB, true);
+
+        assertEquals(product, exporter.decodeAll(new ByteArrayInputStream(plain)));
+        assertEquals(product, exporter.decodeAll(new ByteArrayInputStream(deflated)));
+
+        // A million pairs are stored as 2000 elements
+        assertTrue("plain export is " + plain.length + " bytes", plain.length < 40 * 1024);
+        assertTrue("deflated export is " + deflated.length + " bytes", deflated.length < 10 * 1024);
+    }
+
+    public void testDecodedPairsKeepSetNames() throws Exception {
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { "1", "x" }, "A");
+        List<SetElement> setB = Arrays.asList(new SetElement("y", null));
+
+        List<CartesianPair> decoded = exporter.decodeAll(new ByteArrayInputStream(exportProduct(setA, setB, true)));
+
+        assertEquals("(x ∈ A, y ∈ null)", decoded.get(1).toDetailedString());
+    }
+
+    public void testExportPairsOnJoinResult() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 300, "A");
+        List<SetElement> setB = inputParser.parseRange(1, 300, "B");
+        List<CartesianPair> join = new CartesianJoinService().bandJoin(setA, setB, 3);
+
+        for (boolean compress : new boolean[] { false, true }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(join.size(), exporter.exportPairs(join, out, compress));
+            assertEquals(join, exporter.decodeAll(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    public void testExportPairsReusesBlocks() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 200, "A");
+        List<SetElement> setB = inputParser.parseRange(1, 200, "B");
+        List<CartesianPair> product = productService.generateCartesianProduct(setA, setB);
+
+        ByteArrayOutputStream pairs = new ByteArrayOutputStream();
+        exporter.exportPairs(product, pairs, false);
+
+        assertEquals(exportProduct(setA, setB, false).length, pairs.size());
+    }
+
+    public void testBackToBackExports() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 50, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "x", "y" }, "B");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportProduct(setA, setB, out, true);
+        exporter.exportProduct(setB, setA, out, false);
+        exporter.exportProduct(setA, setA, out, true);
+        out.write(42);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(100, exporter.decode(in, pair -> { }));
+        assertEquals(100, exporter.decode(in, pair -> { }));
+        assertEquals(2500, exporter.decode(in, pair -> { }));
+        assertEquals(42, in.read());
+    }
+
+    public void testLongElementValue() throws Exception {
+        char[] chars = new char[70000];
+        Arrays.fill(chars, 'a');
+        List<SetElement> setA = inputParser.parseSetFromArray(new String[] { new String(chars), "b" }, "A");
+        List<SetElement> setB = inputParser.parseSetFromArray(new String[] { "1" }, "B");
+
+        for (boolean compress : new boolean[] { false, true }) {
+            byte[] export = exportProduct(setA, setB, compress);
+            assertEquals(productService.generateCartesianProduct(setA, setB),
+                         exporter.decodeAll(new ByteArrayInputStream(export)));
+        }
+    }
+
+    public void testTruncatedInputFails() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 100, "A");
+        List<SetElement> setB = inputParser.parseRange(1, 100, "B");
+
+        for (boolean compress : new boolean[] { false, true }) {
+            byte[] export = exportProduct(setA, setB, compress);
+            for (int length : new int[] { 0, 3, 10, export.length / 2, export.length - 1 }) {
+                assertDecodeFails(Arrays.copyOf(export, length));
+            }
+        }
+    }
+
+    public void testCorruptInputFails() throws Exception {
+        List<SetElement> setA = inputParser.parseRange(1, 100, "A");
+        List<SetElement> setB = inputParser.parseRange(1, 100, "B");
+
+        byte[] badMagic = exportProduct(setA, setB, false);
+        badMagic[0] ^= 0x7F;
+        assertDecodeFails(badMagic);
+
+        // Header (6 bytes) + chunk lengths (8 bytes) + BLOCK tag, then the block size
+        byte[] hugeBlock = exportProduct(setA, setB, false);
+        ByteBuffer.wrap(hugeBlock).putInt(15, Integer.MAX_VALUE);
+        assertDecodeFails(hugeBlock);
+
+        byte[] badTag = exportProduct(setA, setB, false);
+        badTag[14] = 9;
+        assertDecodeFails(badTag);
+
+        byte[] badChunk = exportProduct(setA, setB, true);
+        for (int i = 20; i < badChunk.length - 20; i += 7) {
+            badChunk[i] ^= 0x55;
+        }
+        assertDecodeFails(badChunk);
+    }
+
+    private byte[] exportProduct(List<SetElement> setA, List<SetElement> setB, boolean compress) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportProduct(setA, setB, out, compress);
+        return out.toByteArray();
+    }
+
+    private void assertDecodeFails(byte[] data) {
+        List<CartesianPair> sink = new ArrayList<>();
+        try {
+            exporter.decode(new ByteArrayInputStream(data), sink::add);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}